@@ -145,3 +145,284 @@ In this example, `useQuery` fetches data from an API and stores it in the cache
 
 
   
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+READING AND WRITING THE CACHE DIRECTLY WITH THE QueryClient
+
+
+
+The cache that `useQuery` uses is a plain object you can talk to yourself through the `QueryClient`. There is ONE entry per query key ('super-hero', ['user', email]) and every entry remembers its data, its `dataUpdatedAt` time and its own `staleTime` / `cacheTime`.
+
+ - staleTime  -> default 0. How long the data counts as fresh. Fresh data is returned WITHOUT any network request.
+ - cacheTime  -> default 5 minutes. How long an entry with no observers (no mounted component using it) stays in memory before it is garbage collected.
+
+
+The three methods you use the most:
+
+1. **getQueryData(key)** - reads whatever is in the cache right now. It never fetches, so it is basically free (a map lookup).
+
+```jsx
+const queryClient = useQueryClient()
+
+const heroes = queryClient.getQueryData('super-heroes')   // undefined if nothing is cached
+```
+
+2. **setQueryData(key, updater)** - writes into the cache. Every component using that key re-renders with the new data.
+
+```jsx
+queryClient.setQueryData('super-heroes', oldQueryData => {
+  return {
+    ...oldQueryData,
+    data: [...oldQueryData.data, newHero],
+  }
+})
+```
+
+3. **fetchQuery(key, fn, options)** - returns the cached data if it is still fresh (younger than `staleTime`), otherwise it fetches, stores the result and returns it. It is the "give me the data, I don't care from where" call.
+
+```jsx
+const heroes = await queryClient.fetchQuery('super-heroes', fetchSuperHeroes, {
+  staleTime: 10 * 1000, // anything younger than 10 seconds is served from the cache
+})
+```
+
+
+Checking if the cached data is still fresh without fetching:
+
+```jsx
+const state = queryClient.getQueryState('super-heroes')
+
+const isFresh = state && Date.now() - state.dataUpdatedAt < 10 * 1000
+
+const heroes = isFresh ? state.data : await queryClient.fetchQuery('super-heroes', fetchSuperHeroes)
+```
+
+
+Defaults for the whole app go on the client itself, so you don't repeat them on every `useQuery`:
+
+```jsx
+const queryClient = new QueryClient({
+  defaultOptions: {
+    queries: {
+      staleTime: 0,                // default
+      cacheTime: 5 * 60 * 1000,    // default, 5 minutes
+    },
+  },
+})
+```
+
+CAREFUL: the first line of this file says the default stale time is 5 minutes. That is wrong - the default `staleTime` is 0 (data is stale as soon as it arrives). The 5 minutes is the default `cacheTime`, how long unused data stays in memory. See also "Stale Time".
+
+NOTE: there is only ever one QueryClient per app (created once in App.js and passed to QueryClientProvider). Do not create it inside a component or every render gets a new, empty cache.
+
+
+
+
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+HOW cacheTime GARBAGE COLLECTION ACTUALLY WORKS
+
+
+
+cacheTime is NOT "delete the data 5 minutes after it was fetched". For a query that components use, the timer only starts when the query becomes INACTIVE, i.e. when the last component using that key unmounts.
+
+1. Component with useQuery('super-hero', fetchData) mounts            -> query is active, no GC timer
+2. Component unmounts (user goes to another page)                     -> query is inactive, GC timer starts (cacheTime)
+3a. User comes back before the timer runs out                          -> timer is cancelled, cached data is shown instantly
+3b. Timer runs out                                                     -> entry is removed from the cache, next mount shows the loading state again
+
+Entries that NO component has used yet start their timer straight away. Anything written by `prefetchQuery`, `fetchQuery` or `setQueryData` (prefetched pages, detail entries seeded from a list, ...) is removed `cacheTime` after it was written unless a component starts using it before then. So a prefetch with the default 5 minutes is only useful if the user gets there within 5 minutes.
+
+```jsx
+const { isLoading, data } = useQuery('super-hero', fetchData, {
+  cacheTime: 5000, // removed 5 seconds after the last component using it unmounts
+})
+```
+
+Each query has only ONE timer at a time. Mounting again clears it and unmounting again sets a new one, so going back and forth between pages does not pile up timers.
+
+
+Useful values:
+
+ - `cacheTime: 5 * 60 * 1000` -> default, good for most data
+ - `cacheTime: 0`            -> removed as soon as nothing uses it (one-off searches, big responses you never show again)
+ - `cacheTime: Infinity`     -> never removed (small reference data like a list of countries)
+
+
+Removing entries yourself without waiting for the timer:
+
+```jsx
+queryClient.removeQueries('super-hero')               // every 'super-hero' entry
+queryClient.removeQueries(['super-hero', heroId], { exact: true })
+queryClient.clear()                                   // everything, e.g. on logout
+```
+
+
+Checking what is still in the cache (React Query Devtools shows the same thing as "inactive"):
+
+```jsx
+queryClient.getQueryCache().getAll().forEach(query => {
+  console.log(query.queryKey, query.getObserversCount() === 0 ? 'inactive' : 'active')
+})
+```
+
+
+
+
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+LIMITING THE SIZE OF THE CACHE
+
+
+
+React Query only removes entries by TIME (`cacheTime`). There is no "keep at most 50 MB" option. Usually that is fine, but a paginated list (['posts', currentPage]) or a search box (['search', term]) can create hundreds of one-off entries that sit in memory for 5 minutes each.
+
+1. **Give one-off keys a short cacheTime** - the simplest fix, and usually enough.
+
+```jsx
+useQuery(['posts', currentPage], () => fetchPosts(currentPage), {
+  keepPreviousData: true,
+  cacheTime: currentPage <= 3 ? 5 * 60 * 1000 : 30 * 1000,   // first pages are popular, deep pages are not
+})
+```
+
+2. **Evict by size yourself** - listen to the query cache, estimate the size of each entry, and when the total goes over a budget remove INACTIVE entries, least-used first. Counting how often a key is used (instead of only when it was last used) stops a burst of one-off pages from pushing out keys like 'super-heroes' that are used all the time.
+
+```jsx
+const MAX_BYTES = 20 * 1024 * 1024
+const useCount = new Map()   // queryHash -> how many times a component asked for it
+
+const sizeOf = query => (query.state.data === undefined ? 0 : JSON.stringify(query.state.data).length)
+
+queryClient.getQueryCache().subscribe(event => {
+  if (event?.type === 'observerAdded') {
+    useCount.set(event.query.queryHash, (useCount.get(event.query.queryHash) || 0) + 1)
+  }
+  if (event?.type === 'queryRemoved') {
+    useCount.delete(event.query.queryHash)
+  }
+  if (event?.type !== 'queryUpdated') return
+
+  const queries = queryClient.getQueryCache().getAll()
+  let total = queries.reduce((sum, query) => sum + sizeOf(query), 0)
+  if (total <= MAX_BYTES) return
+
+  queries
+    .filter(query => query.getObserversCount() === 0)                         // never remove what is on screen
+    .sort((a, b) => (useCount.get(a.queryHash) || 0) - (useCount.get(b.queryHash) || 0))
+    .forEach(query => {
+      if (total <= MAX_BYTES) return
+      total -= sizeOf(query)
+      queryClient.getQueryCache().remove(query)
+    })
+})
+```
+
+NOTE: `JSON.stringify` on every update is not free. For big caches keep a running total per key instead of recomputing everything, or only check every few seconds.
+
+
+Checking whether the limit is hurting you - count how often a component mounts with data already in the cache:
+
+```jsx
+let hits = 0
+let misses = 0
+
+queryClient.getQueryCache().subscribe(event => {
+  if (event?.type === 'observerAdded') {
+    event.query.state.data === undefined ? misses++ : hits++
+  }
+})
+
+// hits / (hits + misses) -> cache hit ratio
+```
+
+
+
+
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+KEEPING THE CACHE AFTER A PAGE RELOAD (PERSISTING THE QueryClient)
+
+
+
+The React Query cache lives in memory, so a reload (or a new deploy) starts with an EMPTY cache: every query shows its loading state again and the API gets hit for everything at once.
+
+You can save the cache to storage and load it back on startup. The saved entries keep their keys, data and `dataUpdatedAt`.
+
+```jsx
+import { QueryClient } from 'react-query'
+import { persistQueryClient } from 'react-query/persistQueryClient-experimental'
+import { createWebStoragePersistor } from 'react-query/createWebStoragePersistor-experimental'
+
+const queryClient = new QueryClient({
+  defaultOptions: {
+    queries: {
+      cacheTime: 1000 * 60 * 60 * 24, // 24 hours - must be at least as long as maxAge or restored entries get garbage collected straight away
+    },
+  },
+})
+
+persistQueryClient({
+  queryClient,
+  persistor: createWebStoragePersistor({
+    storage: window.localStorage,
+    throttleTime: 1000,              // save at most once a second, not on every single change
+  }),
+  maxAge: 1000 * 60 * 60 * 24,       // ignore a saved cache older than 24 hours
+  buster: 'v2',                      // change this when the shape of your data changes, old saves are thrown away
+})
+```
+
+What happens on startup:
+
+ - entries are restored with their ORIGINAL `dataUpdatedAt`, so staleTime still works correctly
+ - fresh entries are used as they are, no request
+ - stale entries are shown immediately AND refetched in the background (same as normal stale data), so the user sees content instantly instead of a spinner
+
+
+Only saving the entries worth saving:
+
+The whole cache is written as one JSON string, so keep it small. `dehydrateOptions` lets you choose which queries get saved, e.g. only successful ones and not the big one-off pages:
+
+```jsx
+persistQueryClient({
+  queryClient,
+  persistor,
+  dehydrateOptions: {
+    shouldDehydrateQuery: query =>
+      query.state.status === 'success' && query.queryKey[0] !== 'search',
+  },
+})
+```
+
+NOTE: localStorage is limited to about 5 MB and is read synchronously on startup. For bigger caches use an async storage (IndexedDB, e.g. with `idb-keyval`) through `createAsyncStoragePersistor`.
+
+
+Doing it by hand (e.g. for server side rendering) uses the same two functions underneath:
+
+```jsx
+import { dehydrate, hydrate } from 'react-query'
+
+const snapshot = dehydrate(queryClient)           // plain object, safe to JSON.stringify
+hydrate(otherQueryClient, snapshot)               // puts the entries into another client
+```
+
+
+
+
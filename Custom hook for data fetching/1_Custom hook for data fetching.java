@@ -91,3 +91,72 @@ By adopting this approach, you promote maintainability, readability, and scalabi
 
 
   .....
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+USING THE SAME HOOK IN MANY PLACES AT ONCE - REQUEST DEDUPLICATION
+
+
+
+Because `usePostData` always uses the key 'posts', you can call it from as many components as you like at the same time. React Query will NOT send one request per component.
+
+While a fetch for a key is in flight, every other `useQuery('posts', ...)` that mounts just attaches to that same promise. One `axios.get`, every component gets the same result when it resolves.
+
+```jsx
+export const PostsPage = () => {
+  return (
+    <>
+      <PostList />      {/* usePostData() */}
+      <PostCount />     {/* usePostData() */}
+      <PostSidebar />   {/* usePostData() */}
+    </>
+  )
+}
+// -> only ONE GET https://jsonplaceholder.typicode.com/posts in the network tab
+```
+
+The same goes for `queryClient.fetchQuery('posts', fetchData)` and `queryClient.prefetchQuery('posts', fetchData)` - if a fetch for 'posts' is already running they return the running promise instead of starting a new one.
+
+
+Things that BREAK deduplication:
+
+1. **Different keys for the same data** - 'posts' in one place and ['posts'] or 'post-list' in another are different cache entries, so they are fetched separately. This is the main reason to keep the key inside the custom hook.
+
+2. **Calling axios directly** - a plain `axios.get` in a `useEffect` bypasses the cache completely.
+
+3. **Passing `{ cancelRefetch: true }` to `refetch()`** - this cancels the running request and starts a new one on purpose.
+
+
+Checking how many requests are actually being saved:
+
+Count real requests inside the query function, and count the components that mounted while a request for the key was ALREADY running - those are the ones that joined it instead of sending their own.
+
+```jsx
+let fetched = 0   // real requests sent
+let joined = 0    // components that got attached to a request that was already running
+
+const fetchData = async () => {
+  fetched++
+  const response = await axios.get('https://jsonplaceholder.typicode.com/posts')
+  return response.data
+}
+
+queryClient.getQueryCache().subscribe(event => {
+  if (event?.type === 'observerAdded' && event.query.queryKey[0] === 'posts' && event.query.state.isFetching) {
+    joined++
+  }
+})
+
+// joined / fetched -> how many extra callers each real request saved
+```
+
+ - a component that mounts while the data is fresh in the cache is NOT counted - that's a cache hit, not a shared request
+ - the component that starts the request isn't counted either, it's the `fetched++`
+ - `fetchQuery` / `prefetchQuery` calls don't add an observer, so callers that join a request that way are not counted here
+
+
+
+
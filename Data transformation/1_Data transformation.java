@@ -209,3 +209,127 @@ By effectively utilizing data transformation techniques with React Query, you ca
 
 
        
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+WHEN DOES select RUN? (KEEPING IT CHEAP)
+
+
+
+`select` does not re-run on every render by itself. Each component using the query remembers the last data and the last select FUNCTION it saw, and only runs select again if one of them changed:
+
+ - the data in the cache changed (a refetch brought back different data), or
+ - the select function is a different function than last time
+
+The catch is the second point. Writing select inline creates a NEW function on every render, so it runs on every render:
+
+```jsx
+// runs data.map(...) on EVERY render of MyComponent
+const { data } = useQuery('posts', fetchData, {
+  select: data => data.map(post => post.id),
+})
+```
+
+Fix 1 - define the selector outside the component (best when it doesn't need props):
+
+```jsx
+const selectPostIds = data => data.map(post => post.id)
+
+export const usePostIds = () => useQuery('posts', fetchData, { select: selectPostIds })
+```
+
+Fix 2 - `useCallback` when it depends on props or state:
+
+```jsx
+const selectPostsByUser = useCallback(
+  data => data.filter(post => post.userId === userId),
+  [userId]
+)
+
+const { data } = useQuery('posts', fetchData, { select: selectPostsByUser })
+```
+
+Now select only runs when the posts actually change or `userId` changes, no matter how many times the component renders.
+
+
+Refetches that return the same data:
+
+React Query uses structural sharing: after a refetch it compares the new data to the old and keeps the OLD objects wherever nothing changed. If nothing at all changed you get back the exact same reference, so select does not run again.
+
+The result of select is structurally shared too: if select returns an array with the same ids as last time, you get the previous array back, and a component that only uses `data` does not re-render.
+
+
+Many components, one key:
+
+Every component runs its own select, but with a stable selector each one only pays for it when the data changes. You can check it with a counter:
+
+```jsx
+let selectRuns = 0
+const selectPostIds = data => {
+  selectRuns++
+  return data.map(post => post.id)
+}
+
+// render 1000 components using usePostIds(), then re-render them all a few times
+console.log(selectRuns)   // 1000 (one per component), not 1000 x number of renders
+```
+
+
+
+
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+ONLY KEEPING THE FIELDS YOU NEED (select vs THE QUERY FUNCTION vs THE SERVER)
+
+
+
+`select: data => data.map(post => post.id)` gives the component only the ids, but the whole response (every `title` and `body`) was still downloaded, parsed, and is STILL in the cache. `select` runs on the cached data, it does not change what is cached.
+
+There are three places to throw away fields, from best to worst:
+
+1. **Ask the server for less.** If the API supports it, request only the fields you use. Nothing else is downloaded or parsed.
+
+```jsx
+// depends on the API, e.g. ?fields=id , GraphQL, or a dedicated /posts/ids endpoint
+const fetchPostIds = async () => {
+  const response = await axios.get('https://api.example.com/posts', { params: { fields: 'id' } })
+  return response.data
+}
+```
+
+2. **Trim in the query function.** The full response is still downloaded and parsed once, but only the ids are stored in the cache, so the big objects can be garbage collected right away.
+
+```jsx
+const fetchPostIds = async () => {
+  const response = await axios.get('https://jsonplaceholder.typicode.com/posts')
+  return response.data.map(post => post.id)
+}
+
+useQuery(['posts', 'ids'], fetchPostIds)   // different key - this cache entry holds ids only
+```
+
+   For a long list of numbers a typed array is even smaller than a normal array:
+
+```jsx
+return Int32Array.from(response.data, post => post.id)
+```
+
+   NOTE: typed arrays are never structurally shared - structural sharing only compares plain arrays and objects, so every refetch gives you a new Int32Array even if the ids are the same. Nothing breaks, it just means `data` changes reference on every fetch.
+
+3. **Trim in select.** Smallest change, but the full data stays in the cache. Fine when other components also need the full posts from the same 'posts' key.
+
+
+Use a different key for the trimmed version (['posts', 'ids']) so it doesn't clash with the full 'posts' query that other components may use.
+
+Parsing only some fields while the response is streaming in is possible (streaming JSON parsers like `oboe` or `@streamparser/json`), but `JSON.parse` is built into the browser and very fast. Unless the response is many megabytes, option 1 or 2 is the better choice.
+
+
+
+
@@ -106,3 +106,123 @@ In your previous code sample, `!!channelId` is used to check if `channelId` is t
 
 
     
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+MAKING DEPENDENT QUERIES FASTER (STARTING THE SECOND QUERY EARLY)
+
+
+
+With `enabled: !!channelId` the page always waits for TWO round trips one after the other: first the user, then the courses. You can't avoid that the first time, but you can often start the second query earlier.
+
+1. **Guess the channelId from the cache.** If the user was loaded before (even if it is stale now), its `channelId` is still in the cache and almost never changes. Start fetching the courses for that channelId straight away, at the same time as the user is being refetched.
+
+```jsx
+export const DependentQueriesPage = ({ email }) => {
+  const queryClient = useQueryClient()
+
+  useEffect(() => {
+    const cachedChannelId = queryClient.getQueryData(['user', email])?.data?.channelId
+    if (cachedChannelId) {
+      queryClient.prefetchQuery(['courses', cachedChannelId], () => fetchCoursesByChannelId(cachedChannelId))
+    }
+  }, [email, queryClient])
+
+  const { data: user } = useQuery(['user', email], () => fetchUserByEmail(email))
+  const channelId = user?.data?.channelId
+
+  useQuery(['courses', channelId], () => fetchCoursesByChannelId(channelId), {
+    enabled: !!channelId,
+  })
+
+  return <div>DependentQueries</div>
+}
+```
+
+ - guess was RIGHT (almost always) -> the courses query finds the request already running or finished, so the page only waits for ONE round trip
+ - guess was WRONG -> the courses query uses the new channelId as usual, the only cost is one wasted request
+
+
+2. **Run a chain of queries outside of components.** For a loader or a prefetch on hover, you can describe which query needs which, and start each one as soon as the ones it needs are done. Queries that don't depend on each other run in parallel.
+
+```jsx
+// nodes: { name: { deps: [...names], queryKey: inputs => key, queryFn: inputs => promise } }
+
+// check the graph BEFORE starting any request: every dep has to exist and there must be no loops
+// (a -> b -> a would wait forever, or blow the stack while setting up)
+const checkGraph = nodes => {
+  const state = {}   // name -> 'checking' | 'ok'
+
+  const visit = (name, path) => {
+    if (!nodes[name]) {
+      throw new Error(`runQueryGraph: unknown query "${name}"${path.length ? ` (needed by "${path[path.length - 1]}")` : ''}`)
+    }
+    if (state[name] === 'ok') return
+    if (state[name] === 'checking') {
+      throw new Error(`runQueryGraph: dependency cycle ${[...path, name].join(' -> ')}`)
+    }
+    state[name] = 'checking'
+    ;(nodes[name].deps || []).forEach(dep => visit(dep, [...path, name]))
+    state[name] = 'ok'
+  }
+
+  Object.keys(nodes).forEach(name => visit(name, []))
+}
+
+export const runQueryGraph = async (queryClient, nodes) => {
+  checkGraph(nodes)   // rejects with a clear error instead of hanging
+
+  const started = performance.now()
+  const running = {}
+  const timings = {}   // name -> { startMs, endMs, durationMs }, times counted from the start of the graph
+
+  const run = name => {
+    if (!running[name]) {
+      const node = nodes[name]
+      running[name] = Promise.all((node.deps || []).map(run)).then(async depResults => {
+        const inputs = Object.fromEntries((node.deps || []).map((dep, i) => [dep, depResults[i]]))
+
+        const startMs = performance.now() - started   // all the queries it needs are done, this one starts now
+        const data = await queryClient.fetchQuery(node.queryKey(inputs), () => node.queryFn(inputs))
+        const endMs = performance.now() - started
+
+        timings[name] = { startMs, endMs, durationMs: endMs - startMs }
+        return data
+      })
+    }
+    return running[name]
+  }
+
+  const names = Object.keys(nodes)
+  const values = await Promise.all(names.map(run))
+
+  return {
+    results: Object.fromEntries(names.map((name, i) => [name, values[i]])),   // name -> data
+    timings,
+    criticalPathMs: Math.max(...Object.values(timings).map(t => t.endMs)),   // how long the whole graph took
+  }
+}
+
+const { results, timings, criticalPathMs } = await runQueryGraph(queryClient, {
+  user: {
+    queryKey: () => ['user', email],
+    queryFn: () => fetchUserByEmail(email),
+  },
+  courses: {
+    deps: ['user'],
+    queryKey: ({ user }) => ['courses', user.data.channelId],
+    queryFn: ({ user }) => fetchCoursesByChannelId(user.data.channelId),
+  },
+})
+```
+
+Everything is stored under the same keys the component uses, so when `DependentQueriesPage` renders afterwards both queries are already in the cache.
+
+`results.user` and `results.courses` are the data of each query. `timings` shows when each query started and finished and how long it took on its own (`durationMs`). If `criticalPathMs` is close to the sum of the `durationMs` along the chain (here `timings.user.durationMs + timings.courses.durationMs`), the queries really are waiting on each other and the trick from point 1 (or an API endpoint that returns the user WITH the courses) is where the time can be won.
+
+
+
+
@@ -153,3 +153,148 @@ Dynamic parallel queries in React Query offer a flexible and efficient way to ha
                                                                                                                                                                                                                                                                                                                                                                            
                                                                                                                                                                                                                                                                                                                                                                            
                                                                                                                                                                                                                                                                                                                                                                            
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+FETCHING A LIST OF QUERIES OUTSIDE OF COMPONENTS (fetchQueries HELPER)
+
+
+
+`useQueries` only works inside a component. In a loader, an event handler, or when you prefetch before navigating, you can get the same "one query per id, all in parallel" behaviour from `queryClient.fetchQuery`. Each call still goes through the cache, so fresh entries are not fetched again and duplicate ids share one request.
+
+```jsx
+export const fetchQueries = (queryClient, queries, onResult) =>
+  Promise.allSettled(
+    queries.map(({ queryKey, queryFn, ...options }, index) =>
+      queryClient.fetchQuery(queryKey, queryFn, options).then(
+        data => {
+          onResult?.(index, { status: 'success', data })        // partial result, as soon as this one is done
+          return data
+        },
+        error => {
+          onResult?.(index, { status: 'error', error })
+          throw error
+        }
+      )
+    )
+  )
+
+const results = await fetchQueries(
+  queryClient,
+  userIds.map(id => ({ queryKey: ['user', id], queryFn: () => fetchUser(id), staleTime: 30000 })),
+  (index, result) => console.log('user', userIds[index], result.status)
+)
+
+// results[i] belongs to userIds[i], whatever order the requests finished in
+// each one is { status: 'fulfilled', value } or { status: 'rejected', reason }
+```
+
+ - `Promise.allSettled` (not `Promise.all`) - one failing user doesn't throw away the other 199 results
+ - results come back in the SAME order as the input, the callback tells you about each one as it finishes
+ - everything ends up in the cache under ['user', id], so components that use `useQuery(['user', id])` afterwards render instantly
+
+
+Cancelling the whole group:
+
+If the user navigates away, cancel them together instead of letting 200 requests finish for nothing:
+
+```jsx
+queryClient.cancelQueries('user')   // every ['user', id] that is still in flight
+```
+
+(The query function has to support cancellation for this to stop the actual HTTP request - with axios pass the `signal` from the query function context to `axios.get`.)
+
+
+200+ ids at once:
+
+The browser only opens about 6 connections per server over HTTP/1.1. The other requests just wait in the browser's queue, so firing 200 requests doesn't make them 200x faster. If the API can return many users in one request, batch them instead (see the next section). Otherwise limit how many run at once (see Parallel Queries).
+
+
+
+
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+BATCHING MANY ['user', id] QUERIES INTO ONE REQUEST
+
+
+
+With `useQueries` every id is its own request: 50 users = 50 round trips. If the API has a "many at once" endpoint (e.g. `/users?id=1&id=2&id=3`) you can keep one query per id in React Query, but have the query functions share ONE request behind the scenes.
+
+The idea (this is what the `dataloader` library does):
+
+1. every `fetchUser(id)` call adds its id to a waiting list and gets a promise back
+2. after a short wait (or when the list is full) ONE request is sent with all the waiting ids
+3. each promise is resolved with its own user from the response
+
+```jsx
+const MAX_BATCH_SIZE = 50
+const MAX_WAIT = 10  // ms
+
+const batchSizes = []    // how big each batch was, to check the batching is working
+let waiting = []         // [{ id, resolve, reject }]
+let timer = null
+
+const sendBatch = async () => {
+  const batch = waiting
+  waiting = []
+  clearTimeout(timer)
+  timer = null
+  batchSizes.push(batch.length)
+
+  try {
+    const response = await axios.get('https://jsonplaceholder.typicode.com/users', {
+      params: { id: batch.map(item => item.id) },
+      paramsSerializer: params => params.id.map(id => `id=${id}`).join('&'),   // id=1&id=2&id=3
+    })
+    const byId = new Map(response.data.map(user => [user.id, user]))
+
+    batch.forEach(({ id, resolve, reject }) =>
+      byId.has(id) ? resolve(byId.get(id)) : reject(new Error(`User ${id} not found`))
+    )
+  } catch (error) {
+    batch.forEach(({ reject }) => reject(error))
+  }
+}
+
+const fetchUser = id =>
+  new Promise((resolve, reject) => {
+    waiting.push({ id, resolve, reject })
+
+    if (waiting.length >= MAX_BATCH_SIZE) {
+      sendBatch()
+    } else if (!timer) {
+      timer = setTimeout(sendBatch, MAX_WAIT)
+    }
+  })
+```
+
+Nothing changes in the hook - it is still one query per id, so each user is cached under its own ['user', id] key, gets its own loading / error state, and is only sent to the server if it isn't already fresh in the cache:
+
+```jsx
+export default function useUserData(userIds) {
+  return useQueries(
+    userIds.map(id => ({
+      queryKey: ['user', id],
+      queryFn: () => fetchUser(id),
+    }))
+  )
+}
+// useUserData([1, 2, 3, ... 50]) -> ONE GET /users?id=1&id=2&...&id=50
+```
+
+ - `MAX_WAIT` - how long to wait for more ids. 10ms is long enough to collect every query from one render and too short for a person to notice
+ - `MAX_BATCH_SIZE` - keeps the URL from getting too long (browsers and servers have limits of a few thousand characters)
+ - `batchSizes` - if most batches have 1 id, the queries are not starting at the same time and batching isn't helping
+
+NOTE: the ids in the response may be numbers while the ids you passed in were strings (from `useParams`). Use the same type on both sides or `byId.get(id)` will not find anything.
+
+
+
+
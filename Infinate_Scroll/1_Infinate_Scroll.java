@@ -310,3 +310,58 @@ This code demonstrates how to implement infinite scroll in React Query using the
 
 
   
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+BIG RESPONSES LIKE /comments - WHERE COMPRESSION ACTUALLY HELPS
+
+
+
+Lists like `axios.get('https://jsonplaceholder.typicode.com/comments')` are mostly repeated JSON field names, so they compress very well (often 5-10x). But it matters WHERE you compress:
+
+1. **Over the network** - the browser and server already do this. If the API sends `Content-Encoding: gzip` (or `br`) the browser decompresses before axios ever sees the data. Nothing to do in React Query, just make sure compression is turned on on the server (check the response headers in the network tab).
+
+2. **In the memory cache** - usually NOT worth it. `useInfiniteQuery` keeps `data.pages` as normal objects because every render reads them. Compressing them would mean decompressing on every render. Keeping fewer pages (short `cacheTime`, trimming fields in the query function) saves more memory for much less work.
+
+3. **When saving the cache to storage** - this is where compression pays off. localStorage only has about 5 MB, and a few pages of comments fill that quickly. `createWebStoragePersistor` accepts `serialize` / `deserialize`, so you can compress there with `lz-string`:
+
+```jsx
+import { compressToUTF16, decompressFromUTF16 } from 'lz-string'
+import { persistQueryClient } from 'react-query/persistQueryClient-experimental'
+import { createWebStoragePersistor } from 'react-query/createWebStoragePersistor-experimental'
+
+persistQueryClient({
+  queryClient,
+  persistor: createWebStoragePersistor({
+    storage: window.localStorage,
+    serialize: data => compressToUTF16(JSON.stringify(data)),
+    deserialize: data => JSON.parse(decompressFromUTF16(data)),
+  }),
+})
+```
+
+The data is only decompressed ONCE, when the app starts and the cache is restored. After that everything is read from memory as usual.
+
+
+Checking if it's worth it:
+
+```jsx
+const raw = JSON.stringify(queryClient.getQueryData(['colors']))
+const compressed = compressToUTF16(raw)
+
+console.log('raw', raw.length * 2, 'bytes')                 // JS strings are 2 bytes per character
+console.log('compressed', compressed.length * 2, 'bytes')
+
+console.time('decompress')
+JSON.parse(decompressFromUTF16(compressed))
+console.timeEnd('decompress')
+```
+
+If the pages are small, or decompressing takes longer than the request would, leave compression off.
+
+
+
+
@@ -78,3 +78,68 @@ Initial query data is a useful tool for improving the user experience of data-fe
 
 
   ...
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+TAKING initialData FROM ANOTHER QUERY IN THE CACHE
+
+
+
+`initialData` doesn't have to be a fixed value like `{ data: [] }`. It can be a FUNCTION, and that function can look inside another cached query. The classic case: the details page for hero 7 takes hero 7 out of the 'super-heroes' list that is already cached, so it renders instantly instead of showing "Loading...".
+
+```jsx
+export const useSuperHeroData = heroId => {
+  const queryClient = useQueryClient()
+
+  return useQuery(['super-hero', heroId], fetchSuperHero, {
+    initialData: () => {
+      const hero = queryClient
+        .getQueryData('super-heroes')
+        ?.data?.find(hero => hero.id === parseInt(heroId))
+
+      if (hero) {
+        return { data: hero }   // same shape as the details response
+      }
+      return undefined          // not in the list -> normal loading state and fetch
+    },
+    initialDataUpdatedAt: () => queryClient.getQueryState('super-heroes')?.dataUpdatedAt,
+  })
+}
+```
+
+Why `initialDataUpdatedAt` matters:
+
+Without it React Query treats initialData as brand new (`dataUpdatedAt = now`). With a `staleTime` that means a hero taken from a list fetched 10 minutes ago would be considered fresh and never refetched. Passing the list's `dataUpdatedAt` makes the copied hero exactly as old as the list it came from, so it gets refetched in the background if it's stale.
+
+NOTE: return `undefined` (not `null` or `{}`) when nothing is found. Anything else is treated as real data and the query will not show a loading state.
+
+
+Big lists - don't search the whole list every time:
+
+`.find` goes through the list from the start. For a list of a few hundred heroes that is nothing, but with thousands of entries and lots of page changes you can build an id -> hero lookup ONCE per list response and reuse it. A `WeakMap` keyed on the list array means the lookup is rebuilt only when the list data actually changes, and is thrown away together with the old list.
+
+```jsx
+const heroIndex = new WeakMap()   // list array -> Map(id -> hero)
+
+const findHero = (list, id) => {
+  if (!list) return undefined
+  let index = heroIndex.get(list)
+  if (!index) {
+    index = new Map(list.map(hero => [hero.id, hero]))
+    heroIndex.set(list, index)
+  }
+  return index.get(id)
+}
+
+// in initialData
+const hero = findHero(queryClient.getQueryData('super-heroes')?.data, parseInt(heroId))
+```
+
+This works because React Query's structural sharing keeps the SAME array reference when a refetch returns identical data, so the lookup stays valid across refetches.
+
+
+
+
@@ -157,3 +157,88 @@ Make sure to replace the placeholder code with your actual API endpoints and log
 
 
 
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+HOW invalidateQueries MATCHES KEYS (PREFIX MATCHING)
+
+
+
+`invalidateQueries`, `refetchQueries`, `cancelQueries` and `removeQueries` all take a query key as a FILTER, not as an exact key. The filter matches every cached key that STARTS WITH it.
+
+Array keys are compared item by item from the left, and a string key 'users' is the same thing as ['users'].
+
+```jsx
+queryClient.invalidateQueries('users')
+// matches  'users'
+//          ['users', 1]
+//          ['users', 1, 'posts']
+// does NOT match ['user', 1]   (different first item)
+
+queryClient.invalidateQueries(['super-hero'])
+// matches every ['super-hero', heroId] detail query at once
+```
+
+This is why it pays to order keys from general to specific:
+
+```jsx
+['super-hero', heroId]            // good - can invalidate all heroes or one hero
+['super-hero', heroId, 'friends']
+
+[heroId, 'super-hero']            // bad - there is no prefix that means "all heroes"
+```
+
+
+Narrowing the match:
+
+```jsx
+// only the list, not the ['users', id] details
+queryClient.invalidateQueries('users', { exact: true })
+
+// one specific detail query
+queryClient.invalidateQueries(['super-hero', heroId])
+
+// only the queries that are on screen right now; the rest are just marked stale
+queryClient.invalidateQueries('users', { refetchActive: true, refetchInactive: false })
+
+// anything the prefix can't express
+queryClient.invalidateQueries({
+  predicate: query => query.queryKey[0] === 'super-hero' && query.queryKey[1] > 100,
+})
+```
+
+The same filters work for the other bulk calls:
+
+```jsx
+queryClient.refetchQueries(['super-hero'])   // refetch now, fresh or not
+queryClient.cancelQueries(['super-hero'])    // abort the in-flight requests (useful before an optimistic update)
+```
+
+
+A note on cost:
+
+Under the hood React Query goes through every query in the cache and checks the filter against each key, so the cost of one `invalidateQueries` call grows with the TOTAL number of cached queries, not with the number that match.
+
+For a normal app this is nothing. If you keep thousands of keys around (e.g. one per page, one per search term) keep the cache small instead of fighting the matcher:
+
+ - give throw-away keys a short `cacheTime` so inactive ones are garbage collected quickly
+ - don't create more keys than you need (e.g. debounce a search box instead of caching every keystroke)
+
+A more specific filter (['super-hero', heroId] instead of 'super-hero') or `exact: true` does NOT make the check itself cheaper - every key is still looked at. What it does reduce is how many queries are marked stale and refetched afterwards, which is usually the expensive part (network requests and re-renders).
+
+You can see the cost yourself:
+
+```jsx
+console.time('invalidate')
+queryClient.invalidateQueries(['super-hero'])
+console.timeEnd('invalidate')
+
+console.log(queryClient.getQueryCache().getAll().length) // number of keys it had to look at
+```
+
+
+
+
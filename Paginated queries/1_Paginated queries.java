@@ -252,3 +252,206 @@ By implementing paginated queries, you can efficiently handle large datasets, im
 
 
   
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+A SECOND CACHE FOR PAGES THAT FELL OUT OF MEMORY (INDEXEDDB)
+
+
+
+Pages like ['posts', 7] are a good fit for a short `cacheTime` (see Caching), but users DO come back to them - they go back to page 7 ten minutes later and wait for the spinner again.
+
+You can keep two levels of cache:
+
+ - **memory** - the normal React Query cache, small, short cacheTime
+ - **IndexedDB** - lots of space, survives reloads, a bit slower to read but much faster than the network
+
+Pages move DOWN to IndexedDB when React Query removes them from memory, and move back UP into memory when the user goes to that page again. The example uses the tiny `idb-keyval` library.
+
+Moving up uses `initialData` + `initialDataUpdatedAt`: the saved page is shown immediately, but with the time it was ORIGINALLY fetched. A page saved ten minutes ago is older than `staleTime`, so React Query shows it and refetches it in the background - the user sees the old page instead of a spinner, and gets the fresh one a moment later.
+
+`initialData` has to be available synchronously when the query is created, and IndexedDB is async. So the page is read from IndexedDB in the click handler, BEFORE `currentPage` changes.
+
+```jsx
+import { get, set, del } from 'idb-keyval'
+import { hashQueryKey } from 'react-query'
+
+const PAGE_STALE_TIME = 60 * 1000
+const DISK_TTL = 24 * 60 * 60 * 1000   // keep pages on disk for a day - much longer than staleTime, that's the point
+
+const diskPages = new Map()            // queryHash -> { data, updatedAt } read from IndexedDB, waiting to be used
+const stats = { memoryHits: 0, diskHits: 0, misses: 0 }
+
+queryClient.getQueryCache().subscribe(event => {
+  if (!event || event.query.queryKey[0] !== 'posts') return
+
+  // moving down: save a page to IndexedDB when it is garbage collected from memory
+  if (event.type === 'queryRemoved' && event.query.state.data) {
+    set(event.query.queryHash, {
+      data: event.query.state.data,
+      updatedAt: event.query.state.dataUpdatedAt,   // keep the ORIGINAL fetch time
+    })   // async, doesn't block anything
+  }
+
+  if (event.type === 'observerAdded') {
+    if (diskPages.has(event.query.queryHash)) {
+      stats.diskHits++
+      diskPages.delete(event.query.queryHash)       // it is in memory now
+    } else if (event.query.state.data) {
+      stats.memoryHits++
+    } else {
+      stats.misses++
+    }
+  }
+})
+
+// moving up, part 1: look in IndexedDB before showing the page
+const loadSavedPage = async queryKey => {
+  if (queryClient.getQueryData(queryKey) !== undefined) return   // still in memory, nothing to do
+
+  const hash = hashQueryKey(queryKey)
+  const saved = await get(hash)
+  if (!saved) return
+
+  if (Date.now() - saved.updatedAt < DISK_TTL) {
+    diskPages.set(hash, saved)
+  } else {
+    del(hash)   // too old to be worth showing
+  }
+}
+
+const fetchPostsPage = async page => {
+  const response = await axios.get(`https://jsonplaceholder.typicode.com/posts?_page=${page}&_limit=${pageSize}`)
+  return response.data
+}
+
+const PaginatedPosts = () => {
+  const [currentPage, setCurrentPage] = useState(1)
+
+  const handlePageChange = async page => {
+    await loadSavedPage(['posts', page])   // a few ms, much less than a network request
+    setCurrentPage(page)
+  }
+
+  // moving up, part 2: the saved page becomes the initial data of the new query
+  const saved = diskPages.get(hashQueryKey(['posts', currentPage]))
+
+  const { data } = useQuery(['posts', currentPage], () => fetchPostsPage(currentPage), {
+    keepPreviousData: true,
+    cacheTime: 30 * 1000,                     // memory stays small, IndexedDB keeps the rest
+    staleTime: PAGE_STALE_TIME,
+    initialData: saved?.data,
+    initialDataUpdatedAt: saved?.updatedAt,   // old page -> stale -> shown now AND refetched in the background
+  })
+
+  // ... render as before, using handlePageChange for the buttons
+}
+```
+
+NOTE: `hashQueryKey` is the same function React Query uses for `queryHash`, so the IndexedDB key written in `queryRemoved` and the one read in `loadSavedPage` always match.
+
+`stats` tells you how much each level is helping. If `diskHits` stays at 0, users don't come back to old pages and you can drop the second level.
+
+IndexedDB doesn't clean itself up - `loadSavedPage` only deletes an expired page when somebody asks for it. Remove the rest from time to time (e.g. on startup, delete anything older than `DISK_TTL` with `idb-keyval`'s `entries` and `del`).
+
+
+
+
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+PREFETCHING THE NEXT (AND PREVIOUS) PAGE
+
+
+
+In the example above every click on "Next" shows "Loading..." because ['posts', currentPage + 1] is only fetched AFTER the click. Two small changes make paging feel instant:
+
+1. **keepPreviousData** - while the new page loads, keep showing the old page instead of the loading state. `isPreviousData` tells you the data on screen is from the previous page (e.g. to disable "Next" until it arrives).
+
+2. **prefetchQuery** - while the user is reading page N, quietly fetch page N+1 (and N-1) into the cache, so the click just reads from the cache.
+
+```jsx
+// priority is read by the request limiter from "Parallel Queries" (0 = normal, -1 = can wait)
+const fetchPosts = async (page, priority = 0) => {
+  const response = await axios.get(`https://jsonplaceholder.typicode.com/posts?_page=${page}&_limit=${pageSize}`, { priority })
+  return response.data
+}
+
+const PaginatedPosts = () => {
+  const queryClient = useQueryClient()
+  const [currentPage, setCurrentPage] = useState(1)
+
+  const { isLoading, data, error, isPreviousData } = useQuery(
+    ['posts', currentPage],
+    () => fetchPosts(currentPage),
+    { keepPreviousData: true, staleTime: 30000 }
+  )
+
+  useEffect(() => {
+    [currentPage + 1, currentPage - 1]
+      .filter(page => page >= 1)
+      .forEach(page => queryClient.prefetchQuery(['posts', page], () => fetchPosts(page, -1), { staleTime: 30000 }))
+  }, [currentPage, queryClient])
+
+  // ... render as before, with:
+  // <button onClick={() => setCurrentPage(p => p + 1)} disabled={isPreviousData}>Next</button>
+}
+```
+
+NOTE: give the prefetch the same `staleTime` as the query. Otherwise the page that was just prefetched counts as stale and is fetched AGAIN when the user opens it.
+
+
+Prefetching further ahead when the user is paging quickly:
+
+Someone reading every page needs only one page ahead. Someone clicking "Next" every half second outruns a single prefetch. Measure the time between page changes and prefetch more pages ahead when it is short:
+
+```jsx
+const lastChange = useRef(0)   // 0 = first page of this visit, no page change to measure yet
+const depth = useRef(1)
+
+const prefetchStats = useRef({ prefetched: new Set(), hits: 0, misses: 0 })
+
+useEffect(() => {
+  const stats = prefetchStats.current
+  const isFirstPage = lastChange.current === 0
+
+  if (!isFirstPage) {
+    // was the page we just opened already prefetched and in the cache?
+    if (stats.prefetched.has(currentPage) && queryClient.getQueryData(['posts', currentPage])) {
+      stats.hits++
+    } else {
+      stats.misses++
+    }
+
+    const sinceLastChange = Date.now() - lastChange.current
+    depth.current = sinceLastChange < 1000 ? Math.min(depth.current + 1, 5) : 1   // fast paging -> look further ahead
+  }
+  lastChange.current = Date.now()
+
+  const prefetch = page => {
+    stats.prefetched.add(page)   // both directions, so going back to a prefetched page counts as a hit
+    queryClient.prefetchQuery(['posts', page], () => fetchPosts(page, -1), { staleTime: 30000 })   // low priority
+  }
+
+  for (let i = 1; i <= depth.current; i++) {
+    prefetch(currentPage + i)
+  }
+  if (currentPage > 1) {
+    prefetch(currentPage - 1)
+  }
+}, [currentPage, queryClient])
+```
+
+`hits / (hits + misses)` says how often a page was ready when the user opened it. If it's low, users jump to pages you didn't guess (e.g. typing a page number) and prefetching more pages ahead won't help. If it's high, try lowering the max depth to save requests.
+
+Prefetches should never get in the way of the page the user is actually looking at. That's why they call `fetchPosts(page, -1)`: with the request limiter from "Parallel Queries", the page on screen (priority 0) always goes out before queued prefetches. Without a limiter the extra `priority` field is simply ignored by axios.
+
+
+
+
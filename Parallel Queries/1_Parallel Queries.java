@@ -135,3 +135,146 @@ export const ParallelQueriesPage = () => {
   
 
   ......
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+LIMITING HOW MANY REQUESTS HIT ONE SERVER AT THE SAME TIME
+
+
+
+Parallel queries all start together. Two or three are fine, but a page with dozens of queries (or `useQueries` with 200 ids) can flood a small backend like `localhost:4000` and make EVERY request slow.
+
+You can put a limit in front of axios with interceptors, one limit per server (origin). Requests over the limit wait in a queue, and the important ones can skip ahead.
+
+The limit adjusts itself with a simple rule (AIMD - "additive increase, multiplicative decrease"):
+
+ - response was fast   -> allow one more request at a time (limit + 1)
+ - response was slow   -> the server is struggling, cut the limit in half
+
+```jsx
+const MIN_LIMIT = 2
+const MAX_LIMIT = 20
+const SLOW_MS = 1000
+
+const origins = new Map()   // origin -> { limit, inflight, queue, stats }
+
+// relative urls on an axios instance are relative to its baseURL, not to the page
+const originOf = config =>
+  new URL(config.url, new URL(config.baseURL || '', window.location.href)).origin
+
+const getOrigin = name => {
+  if (!origins.has(name)) {
+    origins.set(name, { limit: 6, inflight: 0, queue: [], stats: { waited: 0, totalQueueTime: 0 } })
+  }
+  return origins.get(name)
+}
+
+const next = origin => {
+  while (origin.inflight < origin.limit && origin.queue.length > 0) {
+    origin.queue.sort((a, b) => b.priority - a.priority)   // highest priority first
+    const { start } = origin.queue.shift()
+    origin.inflight++
+    start()
+  }
+}
+
+const waitForSlot = (origin, priority) => {
+  const queuedAt = Date.now()
+  return new Promise(resolve => {
+    origin.queue.push({
+      priority,
+      start: () => {
+        origin.stats.waited++
+        origin.stats.totalQueueTime += Date.now() - queuedAt
+        resolve()
+      },
+    })
+    next(origin)
+  })
+}
+
+// The limit wraps the ADAPTER (the part of axios that actually sends the request),
+// not the response interceptor. The adapter's promise always settles exactly once -
+// success, error, timeout or cancel - so `finally` always gives the slot back,
+// whatever shape the error has.
+const limitRequests = config => {
+  // retries like `axios(error.config)` come back with the adapter already wrapped -
+  // wrapping it again would make one request wait for two slots
+  if (config.adapter?.isLimited) return config
+
+  const send = typeof config.adapter === 'function'
+    ? config.adapter
+    : axios.getAdapter
+      ? axios.getAdapter(config.adapter)   // axios 1.x: adapter can be a name like 'xhr'
+      : axios.defaults.adapter
+
+  config.adapter = async adapterConfig => {
+    const origin = getOrigin(originOf(adapterConfig))
+    await waitForSlot(origin, adapterConfig.priority || 0)
+
+    const startedAt = Date.now()
+    let finished = false
+    try {
+      const response = await send(adapterConfig)
+      finished = true
+      return response
+    } catch (error) {
+      finished = !axios.isCancel(error)   // a cancelled request says nothing about the server's speed
+      throw error
+    } finally {
+      origin.inflight--
+      if (finished) {
+        const tookMs = Date.now() - startedAt
+        origin.limit = tookMs > SLOW_MS
+          ? Math.max(MIN_LIMIT, Math.floor(origin.limit / 2))
+          : Math.min(MAX_LIMIT, origin.limit + 1)
+      }
+      next(origin)
+    }
+  }
+  config.adapter.isLimited = true
+
+  return config
+}
+
+axios.interceptors.request.use(limitRequests)
+```
+
+Instances made with `axios.create()` do NOT get the interceptors of the global `axios`. If your queries use an instance (e.g. `const api = axios.create({ baseURL: 'http://localhost:4000' })`), register the limiter on it too - that's also the case the `baseURL` handling in `originOf` is there for:
+
+```jsx
+api.interceptors.request.use(limitRequests)
+```
+
+Giving a query priority - pass it with the request config (axios keeps unknown config fields, and the interceptor reads them):
+
+```jsx
+const fetchData1 = async () => {
+  const response = await axios.get('http://localhost:4000/superheroes', { priority: 10 })   // on screen right now
+  return response.data
+}
+
+const prefetchFriends = () => axios.get('http://localhost:4000/friends', { priority: -1 })  // nice to have
+```
+
+Watching it work:
+
+```jsx
+origins.forEach((origin, name) => {
+  console.log(name, {
+    limit: origin.limit,
+    inflight: origin.inflight,
+    queued: origin.queue.length,
+    avgQueueTimeMs: origin.stats.waited ? origin.stats.totalQueueTime / origin.stats.waited : 0,
+  })
+})
+```
+
+NOTE: register the interceptor once per axios instance (e.g. next to where the QueryClient is created), not inside a component, or every render adds another one. See "Axios interceptors" for more on how interceptors work.
+
+
+
+
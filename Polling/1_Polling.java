@@ -141,3 +141,64 @@ By understanding and utilizing these options, you can implement effective pollin
 
 
        
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+FOREGROUND AND BACKGROUND POLLING INTERVALS
+
+
+
+CAREFUL: `refetchIntervalInBackground` is a true / false option, NOT a second interval. The `refetchIntervalInBackground: 30000` example above does not give you a 30 second background interval - it is just treated as `true`, so the query keeps polling every 5 seconds even when the tab is hidden.
+
+ - `refetchIntervalInBackground: false` (default) -> polling pauses while the tab / window is not focused
+ - `refetchIntervalInBackground: true`            -> polling continues at the SAME `refetchInterval` while the tab is hidden
+
+
+Getting a fast interval when the tab is visible and a slow one when it is hidden:
+
+Track whether the page is visible and pick the interval from that.
+
+```jsx
+const usePageVisible = () => {
+  const [visible, setVisible] = useState(!document.hidden)
+
+  useEffect(() => {
+    const onChange = () => setVisible(!document.hidden)
+    document.addEventListener('visibilitychange', onChange)
+    return () => document.removeEventListener('visibilitychange', onChange)
+  }, [])
+
+  return visible
+}
+
+const visible = usePageVisible()
+
+const { data } = useQuery('myData', fetchDataFunction, {
+  refetchInterval: visible ? 5000 : 30000,   // 5s in the foreground, 30s in the background
+  refetchIntervalInBackground: true,         // otherwise background polling would not run at all
+})
+```
+
+When the user comes back to the tab, `refetchOnWindowFocus` (on by default) refetches stale data straight away, so they never see 30 second old data just because the slow interval was still counting down.
+
+
+Only polling what is on screen:
+
+Polling belongs to the component, not to the cache entry. A query with no mounted component using it (an inactive query) is never polled, so data for pages the user is not looking at costs nothing.
+
+If a widget can be hidden without unmounting (tabs, collapsed panels), turn polling off while it is hidden:
+
+```jsx
+const { data } = useQuery(['widget', id], fetchWidget, {
+  refetchInterval: isOpen ? 5000 : false,
+})
+```
+
+Background polls should be the first thing you slow down when the server is under load: visible data stays fresh through the fast interval and the focus refetch, and hidden tabs only cost one request every 30 seconds.
+
+
+
+
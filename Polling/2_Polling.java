@@ -52,3 +52,237 @@ By effectively utilizing polling, you can ensure that your React application rem
 
 
   .....
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+POLLING MANY QUERIES AT ONCE
+
+
+
+Every component that calls useQuery with `refetchInterval` starts its OWN interval timer. That is fine for one or two queries, but with a dashboard full of polled widgets you can end up with a lot of timers and a lot of requests.
+
+Things React Query already does for you:
+
+ - **No overlapping requests for the same key** - if an interval fires while the previous fetch for that key is still running, it joins the running request instead of starting a second one. A slow API doesn't make requests pile up.
+
+ - **Polling stops with the component** - when the component unmounts the timer is cleared.
+
+
+Things you have to do yourself:
+
+1. **Poll each key from ONE place.** Two components using the same key with `refetchInterval: 5000` have two timers that are not in sync, so the key can be fetched twice every 5 seconds. Put the polling in a custom hook and only turn it on in one component.
+
+```jsx
+export const useStockPrice = (symbol, { poll = false } = {}) => {
+  return useQuery(['stock', symbol], fetchStockPrice, {
+    refetchInterval: poll ? 5000 : false,
+  })
+}
+
+<StockChart symbol="AAPL" />            // useStockPrice('AAPL', { poll: true })
+<StockTicker symbol="AAPL" />           // useStockPrice('AAPL')  -> reads the same cache entry, no extra timer
+```
+
+2. **Use a few shared interval values** instead of a different number on every query (e.g. 5s for live data, 30s for everything else). It is much easier to reason about the load on the server.
+
+3. **Poll one summary endpoint instead of N small ones** when the backend allows it, then copy the parts into the per-item keys with `setQueryData`.
+
+```jsx
+useQuery('dashboard', fetchDashboard, {
+  refetchInterval: 5000,
+  onSuccess: data => {
+    data.widgets.forEach(widget => {
+      queryClient.setQueryData(['widget', widget.id], widget)
+    })
+  },
+})
+```
+
+4. **Limit how many requests go out at the same time** with the browser or an axios interceptor if you really have a lot of polled keys (see Parallel Queries).
+
+
+Checking if polling is keeping up:
+
+`dataUpdatedAt` tells you when the data last arrived. If the gap between two updates is much bigger than the interval, the polling is lagging (slow API, or the tab was in the background).
+
+```jsx
+const { dataUpdatedAt } = useQuery('dashboard', fetchDashboard, { refetchInterval: 5000 })
+const previous = useRef(dataUpdatedAt)
+const mounted = useRef(false)
+const measuring = useRef(false)
+
+useEffect(() => {
+  if (!mounted.current) {
+    // mount: dataUpdatedAt is 0 (no data yet) or the age of cached data - not a poll
+    mounted.current = true
+  } else if (!measuring.current) {
+    // first fetch of this mount (initial load or refetchOnMount) - polling starts counting from here
+    measuring.current = true
+  } else {
+    const lag = dataUpdatedAt - previous.current - 5000
+    if (lag > 1000) console.warn('polling is running', lag, 'ms behind')
+  }
+  previous.current = dataUpdatedAt
+}, [dataUpdatedAt])
+```
+
+
+
+
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+POLLING WITH ETAG (ONLY DOWNLOAD THE DATA WHEN IT CHANGED)
+
+
+
+Most polls return exactly the same data as last time. If your API sends an `ETag` header you can ask "has this changed since version X?" and the server answers `304 Not Modified` with an EMPTY body when it hasn't.
+
+1. **The browser can already do this for you.** If the server responds with `ETag` and `Cache-Control: no-cache`, the browser sends `If-None-Match` on its own and reuses its cached body on a 304. Your axios call still sees a normal 200 with the full data, but the bytes did not cross the network. Check the "Size" column in the network tab - it says "(disk cache)" or shows a few hundred bytes.
+
+2. **Doing it yourself in the query function** - when you also want to skip parsing and re-rendering, keep the last ETag per key and return the data that is already in the cache on a 304.
+
+```jsx
+const etags = new Map()
+
+const fetchPosts = async ({ queryKey }) => {
+  const hash = JSON.stringify(queryKey)
+  const cached = queryClient.getQueryData(queryKey)
+
+  // only ask "has it changed?" if we still HAVE the old data to fall back on -
+  // after cacheTime the entry is gone but the ETag would still be in the Map
+  const sendEtag = cached !== undefined && etags.has(hash)
+
+  const response = await axios.get('http://localhost:4000/posts', {
+    headers: sendEtag ? { 'If-None-Match': etags.get(hash) } : {},
+    validateStatus: status => (status >= 200 && status < 300) || status === 304,
+  })
+
+  if (response.status === 304) {
+    return cached   // nothing changed, reuse what we have
+  }
+
+  if (response.headers.etag) {
+    etags.set(hash, response.headers.etag)
+  } else {
+    etags.delete(hash)   // no ETag this time, don't send a stale one (or "undefined") next time
+  }
+  return response.data
+}
+
+// forget the ETag when React Query garbage collects the entry
+queryClient.getQueryCache().subscribe(event => {
+  if (event?.type === 'queryRemoved') etags.delete(event.query.queryHash)
+})
+
+const { data } = useQuery(['posts'], fetchPosts, {
+  refetchInterval: 5000,
+  notifyOnChangeProps: ['data', 'error'],   // don't re-render just because dataUpdatedAt moved
+})
+```
+
+What happens on a 304:
+
+ - the response body is empty, so there is nothing to download or JSON.parse
+ - we return the SAME object that is already in the cache, so structural sharing sees no change and `data` keeps the same reference
+ - `dataUpdatedAt` is still updated, so `staleTime` counts from this poll (the data was confirmed fresh just now)
+ - with `notifyOnChangeProps` the component does not re-render at all
+
+NOTE: the server has to actually send an `ETag` (or `Last-Modified` + `If-Modified-Since`) and the header has to be exposed to the browser with `Access-Control-Expose-Headers: ETag` if the API is on another origin. json-server and jsonplaceholder don't do conditional requests, so test this against your real API.
+
+
+
+
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+ADAPTIVE POLLING - SLOW DOWN WHILE NOTHING CHANGES
+
+
+
+"Set refetchInterval based on data change frequency" is easy to say but the right number is different for every key and changes during the day. Instead of guessing you can let the query work it out: double the interval every time a poll brings back the same data, and jump back to the fast interval as soon as something changes.
+
+`refetchInterval` can be a FUNCTION that gets the data and the query, and whatever it returns is used as the next interval.
+
+CAREFUL: it is NOT called once per fetch. React Query calls it on every render of the component and on every change of the query (fetch started, fetch finished, ...). So the function must not count anything just because it was called - it should only update its numbers when a NEW poll result arrived, which you can see from `query.state.dataUpdatedAt` changing. Every other call just returns the interval it already worked out.
+
+```jsx
+const MIN_INTERVAL = 5000        // fastest - right after a change
+const MAX_INTERVAL = 2 * 60000   // slowest - data has been quiet for a while
+
+const pollStats = new Map()      // key -> { interval, lastUpdatedAt, lastData, changes, polls }
+
+const adaptiveInterval = (_data, query) => {
+  const { data, dataUpdatedAt } = query.state
+  let stats = pollStats.get(query.queryHash)
+
+  if (!stats) {
+    stats = { interval: MIN_INTERVAL, lastUpdatedAt: dataUpdatedAt, lastData: data, changes: 0, polls: 0 }
+    pollStats.set(query.queryHash, stats)
+    return stats.interval
+  }
+
+  if (dataUpdatedAt === stats.lastUpdatedAt) {
+    return stats.interval        // re-render or fetch still running - nothing new, don't touch the stats
+  }
+
+  if (stats.lastUpdatedAt === 0) {
+    // first data for this key (initial load, not a poll) - nothing to compare with yet
+  } else if (data !== stats.lastData) {
+    // structural sharing keeps the same reference when nothing changed,
+    // so a new reference means the payload really is different
+    stats.polls++
+    stats.changes++
+    stats.interval = MIN_INTERVAL
+  } else {
+    stats.polls++
+    stats.interval = Math.min(stats.interval * 2, MAX_INTERVAL)
+  }
+  stats.lastData = data
+  stats.lastUpdatedAt = dataUpdatedAt
+
+  return stats.interval
+}
+
+// forget the stats when React Query garbage collects the entry
+queryClient.getQueryCache().subscribe(event => {
+  if (event?.type === 'queryRemoved') pollStats.delete(event.query.queryHash)
+})
+
+const { data } = useQuery(['posts'], fetchPosts, {
+  refetchInterval: adaptiveInterval,
+})
+```
+
+With data that doesn't change the polls go 5s, 10s, 20s, 40s, 80s, 120s, 120s ... so a quiet key drops from 12 requests a minute to about 1. The first change puts it straight back to 5 seconds.
+
+NOTE: this relies on structural sharing (on by default). If you turned it off with `structuralSharing: false`, compare the data yourself, e.g. `JSON.stringify(data) !== JSON.stringify(stats.lastData)`.
+
+NOTE: `dataUpdatedAt` moves on every successful fetch, even when the data is the same, which is exactly what makes it a good "a poll finished" signal here.
+
+
+Seeing what it learned:
+
+```jsx
+pollStats.forEach((stats, key) => {
+  console.log(key, {
+    interval: stats.interval,
+    changeRate: stats.polls ? stats.changes / stats.polls : 0,   // share of polls that brought new data
+  })
+})
+```
+
+A key with a change rate close to 0 is a good candidate for a long `staleTime` and no polling at all.
+
+
+
+
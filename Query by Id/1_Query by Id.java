@@ -105,3 +105,58 @@ This way, you ensure that the new data for the specified hero ID is fetched when
 
 
   ...
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+SHARING HEROES BETWEEN THE LIST AND THE DETAILS PAGE
+
+
+
+When you click a hero in the list, `['super-hero', heroId]` is fetched from the server - but that hero is already sitting inside the 'super-heroes' list response. React Query does not know that, because it stores each key separately and never looks inside the data (it is NOT a normalized cache like Apollo).
+
+You can fill the details cache yourself when the list arrives. Each hero gets written into its own `['super-hero', id]` entry, so the details page has data straight away and no request is needed while it is fresh.
+
+```jsx
+// useSuperHeroesData.js
+
+export const useSuperHeroesData = () => {
+  const queryClient = useQueryClient()
+
+  return useQuery('super-heroes', fetchSuperHeroes, {
+    onSuccess: data => {
+      const updatedAt = queryClient.getQueryState('super-heroes')?.dataUpdatedAt
+
+      data.data.forEach(hero => {
+        // same shape as the details response: { data: hero }
+        // String(...) because the details page uses heroId from useParams, which is a string
+        queryClient.setQueryData(['super-hero', String(hero.id)], { data: hero }, { updatedAt })
+      })
+    },
+  })
+}
+```
+
+ - `updatedAt` - the detail entries get the time the LIST was fetched, so `staleTime` on the details page is counted from when this data really came from the server
+ - the hero object is the SAME object in the list and in the detail entry (not a copy), so it takes no extra memory
+ - `heroId` from `useParams` is a string, that's why the key is `['super-hero', String(hero.id)]`. ['super-hero', 1] and ['super-hero', '1'] are two different entries, and with the number the details page would never find the seeded data
+
+When a hero is edited, update both places so they stay the same:
+
+```jsx
+onSuccess: updatedHero => {
+  queryClient.setQueryData(['super-hero', String(updatedHero.id)], { data: updatedHero })
+  queryClient.setQueryData('super-heroes', old => ({
+    ...old,
+    data: old.data.map(hero => (hero.id === updatedHero.id ? updatedHero : hero)),
+  }))
+}
+```
+
+If your app has many lists that share the same objects and keeping them in sync by hand gets out of hand, that is the point where a normalized cache (Apollo Client, or a plugin like `@normy/react-query`) starts to make sense. For a list + details page the code above is enough.
+
+
+
+
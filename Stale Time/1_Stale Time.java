@@ -138,3 +138,236 @@ By effectively utilizing stale time, you can optimize the performance of your Re
 
 
   
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+STALE-WHILE-REVALIDATE OUTSIDE OF COMPONENTS
+
+
+
+Inside a component `useQuery` already does stale-while-revalidate: if there is cached data it is returned straight away (`isLoading` is false, `isFetching` is true) and the refetch happens in the background. Only a key with NO data at all makes the user wait.
+
+Outside of components (event handlers, loaders, utility functions) `fetchQuery` is different - if the data is stale it WAITS for the new data. To get the "return now, refresh later" behaviour there, combine `getQueryData` with a `prefetchQuery` you don't await:
+
+```jsx
+const getOrRevalidate = (queryKey, queryFn, staleTime = 0) => {
+  const state = queryClient.getQueryState(queryKey)
+
+  if (state?.data === undefined) {
+    return queryClient.fetchQuery(queryKey, queryFn)      // nothing cached yet, we have to wait
+  }
+
+  // stale -> refresh in the background, the caller does not wait for it
+  // (prefetchQuery does nothing if the data is still fresh, and joins a refetch that is already running)
+  queryClient.prefetchQuery(queryKey, queryFn, { staleTime })
+
+  return Promise.resolve(state.data)
+}
+
+const heroes = await getOrRevalidate('super-heroes', fetchSuperHeroes, 30000)
+```
+
+ - the caller always gets an answer as fast as a cache read once the key has data, no matter how slow the API is
+ - there is at most ONE background refresh per key, because a running fetch for the same key is reused
+ - `prefetchQuery` never throws, a failed background refresh just leaves the old data in place
+
+
+Not starting too many background refreshes at once:
+
+`queryClient.isFetching()` returns how many queries are currently fetching. If a lot are already running you can skip the background refresh and serve the stale data - it will be refreshed on the next call.
+
+```jsx
+const MAX_BACKGROUND_FETCHES = 10
+
+if (queryClient.isFetching() < MAX_BACKGROUND_FETCHES) {
+  queryClient.prefetchQuery(queryKey, queryFn, { staleTime })
+}
+```
+
+
+
+
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+REFRESHING A LITTLE BEFORE staleTime RUNS OUT (AVOIDING REFETCH STAMPEDES)
+
+
+
+With `staleTime: 10 * 60 * 1000` every client that loaded the data at the same moment (e.g. right after a deploy, or a push notification that opens the app) also goes stale at the same moment, and they all hit the API together.
+
+A simple fix is to refresh EARLY with a small random chance that grows as the stale time gets closer. This is known as "probabilistic early expiration" (XFetch):
+
+   refresh early if   now - fetchDuration * beta * ln(random())  >=  dataUpdatedAt + staleTime
+
+ - `ln(random())` is negative, so the left side is "now plus a random amount"
+ - `fetchDuration` - slow queries start refreshing earlier, because they need more time to finish
+ - `beta` - 1 is a good default, bigger means earlier and more spread out
+
+
+Tracking how long each key takes to fetch:
+
+```jsx
+import { hashQueryKey } from 'react-query'
+
+const fetchDurations = new Map()   // queryHash -> last fetch time in ms
+
+const timed = queryFn => async context => {
+  const start = performance.now()
+  try {
+    return await queryFn(context)
+  } finally {
+    fetchDurations.set(hashQueryKey(context.queryKey), performance.now() - start)
+  }
+}
+```
+
+NOTE: use `hashQueryKey` on both sides, not `JSON.stringify`. Inside the query function the key is always an array (`['super-heroes']`) even if you wrote `'super-heroes'`, so `JSON.stringify` would save it under `'["super-heroes"]'` and look it up under `'"super-heroes"'` - the duration would never be found. `hashQueryKey` turns both into the same string React Query uses itself.
+
+Deciding if it's time to refresh:
+
+```jsx
+const shouldRefreshEarly = (queryKey, staleTime, beta = 1) => {
+  const state = queryClient.getQueryState(queryKey)
+  if (!state?.dataUpdatedAt) return true
+
+  const duration = fetchDurations.get(hashQueryKey(queryKey)) || 0
+  return Date.now() - duration * beta * Math.log(Math.random()) >= state.dataUpdatedAt + staleTime
+}
+
+// e.g. in the getOrRevalidate helper above
+if (shouldRefreshEarly(queryKey, staleTime)) {
+  queryClient.prefetchQuery(queryKey, timed(queryFn))   // no staleTime here, we decided to refresh
+}
+```
+
+Inside a component, run the check on a plain timer and only prefetch when it says so:
+
+```jsx
+const STALE_TIME = 10 * 60 * 1000
+
+useQuery('super-heroes', timed(fetchSuperHeroes), { staleTime: STALE_TIME })
+
+useEffect(() => {
+  const id = setInterval(() => {
+    if (shouldRefreshEarly('super-heroes', STALE_TIME)) {
+      queryClient.prefetchQuery('super-heroes', timed(fetchSuperHeroes))
+    }
+  }, 1000)
+  return () => clearInterval(id)
+}, [queryClient])
+```
+
+NOTE: don't use `refetchInterval` for this check. Every `refetchInterval` tick fetches, it does NOT look at `staleTime`, so a 1 second interval would fetch every second instead of once every 10 minutes.
+
+Trying it out - simulate 1000 clients that loaded at the same time and count requests per second:
+
+```jsx
+const perSecond = {}
+for (let client = 0; client < 1000; client++) {
+  for (let t = 0; t <= 600; t++) {            // 10 minutes, one check per second (t = 600 is the normal stale moment)
+    if (t * 1000 - 2000 * Math.log(Math.random()) >= 600 * 1000) {   // 2s fetch, beta 1
+      perSecond[t] = (perSecond[t] || 0) + 1
+      break
+    }
+  }
+}
+console.log(perSecond)   // spread over the last few seconds instead of 1000 requests at t = 600
+                         // (perSecond[600] = clients that didn't refresh early, still much smaller than 1000)
+```
+
+
+
+
+
+
+
+------------------------------------------------------------------------------------------------------------------------------------------
+
+
+LEARNING staleTime FROM HOW OFTEN THE DATA REALLY CHANGES
+
+
+
+`staleTime: isHighPriority ? 1000 : 30000` is still a guess. If you record when a key's data actually changes you can compute a staleTime for it instead.
+
+The goal is usually something like "show data that is out of date at most 5% of the time". If a key changes on average every `meanInterval` ms, the chance it changed within `staleTime` is roughly `1 - e^(-staleTime / meanInterval)`, so:
+
+   staleTime = -ln(1 - 0.05) * meanInterval   ≈   0.05 * meanInterval
+
+
+Recording changes:
+
+Hash each response and compare it to the previous one. Keep a decaying average of the time between changes, so old behaviour slowly fades out when a key gets busier or quieter.
+
+```jsx
+const changeStats = new Map()   // queryHash -> { hash, changedAt, meanInterval }
+
+const hashPayload = data => {
+  const text = JSON.stringify(data)
+  let hash = 0
+  for (let i = 0; i < text.length; i++) hash = (hash * 31 + text.charCodeAt(i)) | 0
+  return hash
+}
+
+const recordChange = (queryKey, data) => {
+  const key = JSON.stringify(queryKey)
+  const now = Date.now()
+  const hash = hashPayload(data)
+  const stats = changeStats.get(key)
+
+  if (!stats) {
+    changeStats.set(key, { hash, changedAt: now, meanInterval: undefined })
+  } else if (stats.hash !== hash) {
+    const interval = now - stats.changedAt
+    stats.meanInterval = stats.meanInterval === undefined ? interval : 0.8 * stats.meanInterval + 0.2 * interval
+    stats.hash = hash
+    stats.changedAt = now
+  }
+}
+```
+
+Choosing the staleTime:
+
+```jsx
+const MIN_STALE = 1000
+const MAX_STALE = 10 * 60 * 1000
+
+const learnedStaleTime = (queryKey, maxStaleChance = 0.05) => {
+  const stats = changeStats.get(JSON.stringify(queryKey))
+  if (!stats?.meanInterval) return MIN_STALE   // not enough history yet, be careful
+
+  const staleTime = -Math.log(1 - maxStaleChance) * stats.meanInterval
+  return Math.min(Math.max(staleTime, MIN_STALE), MAX_STALE)
+}
+
+const useSuperHeroes = () =>
+  useQuery('super-heroes', fetchSuperHeroes, {
+    staleTime: learnedStaleTime('super-heroes'),
+    onSuccess: data => recordChange('super-heroes', data),
+  })
+```
+
+NOTE: the hash only changes when the DATA changes, so a key that is fetched every second but changes once an hour still learns a `meanInterval` of about an hour.
+
+
+Seeing the learned values (handy to log or send to your metrics):
+
+```jsx
+export const getLearnedStaleTimes = () =>
+  [...changeStats.keys()].map(key => ({
+    key,
+    meanInterval: changeStats.get(key).meanInterval,
+    staleTime: learnedStaleTime(JSON.parse(key)),
+  }))
+```
+
+
+
+
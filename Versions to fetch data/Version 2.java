@@ -0,0 +1,37 @@
+import { useQuery } from 'react-query';
+import axios from 'axios';
+
+// Version 1 stores the whole axios response in the cache (data, headers, config, request ...)
+// and every field of every post, even though the page only shows the title.
+// Whatever the query function returns is what stays in memory for cacheTime,
+// so trim it here. `select` would NOT help, it runs after the full data is already cached.
+
+const fetchData = async () => {
+  const response = await axios.get('https://jsonplaceholder.typicode.com/posts')
+  return response.data.map(post => ({ id: post.id, title: post.title }))
+}
+
+export const SuperHeroesPage = () => {
+ const { isLoading, error, data } = useQuery('super-hero', fetchData, {
+   cacheTime: 60 * 1000, // big list, don't keep it around for the default 5 minutes once nobody shows it
+ });
+
+ if (isLoading) {
+   return <h2>Loading...</h2>;
+ }
+
+ if (error) {
+   return <h2>An error occurred: {error.message}</h2>;
+ }
+
+ return (
+   <>
+     <div>
+       <h2>Super Heroes Page</h2>
+       {data.map((post) => (
+         <div key={post.id}>{post.title}</div>
+       ))}
+     </div>
+   </>
+ );
+};